@@ -0,0 +1,53 @@
+package com.ridarhnizar.userlist.config;
+
+import com.ridarhnizar.userlist.services.DatasetRegistry;
+import com.ridarhnizar.userlist.services.UserDataset;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Records request latency against the dataset a user endpoint was served from.
+ */
+public class DatasetMetricsInterceptor implements HandlerInterceptor {
+    
+    private static final String START_ATTRIBUTE = DatasetMetricsInterceptor.class.getName() + ".start";
+    
+    private final DatasetRegistry datasetRegistry;
+    private final String defaultDataset;
+    
+    public DatasetMetricsInterceptor(DatasetRegistry datasetRegistry, String defaultDataset) {
+        this.datasetRegistry = datasetRegistry;
+        this.defaultDataset = defaultDataset;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streaming responses are re-dispatched asynchronously; keep the first dispatch's start time
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long)) {
+            return;
+        }
+        
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String name = variables != null ? variables.get("dataset") : null;
+        
+        // Only record for datasets already in memory; metrics never trigger a load
+        UserDataset dataset = datasetRegistry.getLoadedDataset(name != null ? name : defaultDataset);
+        if (dataset != null) {
+            dataset.recordLatency(System.nanoTime() - (Long) start);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ridarhnizar.userlist.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named username datasets served by this process.
+ * Each entry maps a dataset name to a resource location (classpath: or file:).
+ * The stock entry (default: classpath:usernames.txt) lives in application.yml.
+ */
+@ConfigurationProperties(prefix = "userlist")
+public class DatasetProperties {
+    private String defaultDataset = "default";
+    private long memoryBudgetMb = 512;
+    // Timeout for streaming a whole dataset as a columnar export (GET /all)
+    private long exportTimeoutMinutes = 30;
+    // Starts empty: the binder merges into this map, so a built-in entry would leak into every deployment
+    private Map<String, String> datasets = new LinkedHashMap<>();
+    
+    public String getDefaultDataset() {
+        return defaultDataset;
+    }
+    
+    public void setDefaultDataset(String defaultDataset) {
+        this.defaultDataset = defaultDataset;
+    }
+    
+    public long getMemoryBudgetMb() {
+        return memoryBudgetMb;
+    }
+    
+    public void setMemoryBudgetMb(long memoryBudgetMb) {
+        this.memoryBudgetMb = memoryBudgetMb;
+    }
+    
+    public long getExportTimeoutMinutes() {
+        return exportTimeoutMinutes;
+    }
+    
+    public void setExportTimeoutMinutes(long exportTimeoutMinutes) {
+        this.exportTimeoutMinutes = exportTimeoutMinutes;
+    }
+    
+    public Map<String, String> getDatasets() {
+        return datasets;
+    }
+    
+    public void setDatasets(Map<String, String> datasets) {
+        this.datasets = datasets;
+    }
+}
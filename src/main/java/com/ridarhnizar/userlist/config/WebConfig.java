@@ -1,11 +1,20 @@
 package com.ridarhnizar.userlist.config;
 
+import com.ridarhnizar.userlist.services.DatasetRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+	@Autowired
+	private DatasetRegistry datasetRegistry;
+
+	@Autowired
+	private DatasetProperties datasetProperties;
+
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
 		registry.addMapping("/**")
@@ -16,4 +25,10 @@ public class WebConfig implements WebMvcConfigurer {
 				.allowCredentials(false)
 				.maxAge(3600);
 	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new DatasetMetricsInterceptor(datasetRegistry, datasetProperties.getDefaultDataset()))
+				.addPathPatterns("/api/users/**", "/api/*/users/**");
+	}
 }
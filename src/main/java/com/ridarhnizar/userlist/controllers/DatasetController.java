@@ -0,0 +1,26 @@
+package com.ridarhnizar.userlist.controllers;
+
+import com.ridarhnizar.userlist.dto.DatasetsResponseDTO;
+import com.ridarhnizar.userlist.services.DatasetRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/datasets")
+@CrossOrigin(origins = "*")
+public class DatasetController {
+    
+    @Autowired
+    private DatasetRegistry datasetRegistry;
+    
+    /**
+     * Get configured datasets with memory and latency metrics
+     * GET /api/datasets
+     */
+    @GetMapping
+    public ResponseEntity<DatasetsResponseDTO> getDatasets() {
+        return ResponseEntity.ok(datasetRegistry.getDatasetsInfo());
+    }
+}
+
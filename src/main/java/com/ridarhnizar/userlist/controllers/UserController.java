@@ -1,63 +1,114 @@
 package com.ridarhnizar.userlist.controllers;
 
+import com.ridarhnizar.userlist.config.DatasetProperties;
 import com.ridarhnizar.userlist.dto.UserRequestDTO;
 import com.ridarhnizar.userlist.dto.UserResponseDTO;
 import com.ridarhnizar.userlist.dto.SearchRequestDTO;
 import com.ridarhnizar.userlist.dto.AlphabetResponseDTO;
 import com.ridarhnizar.userlist.dto.AllUsersResponseDTO;
+import com.ridarhnizar.userlist.dto.NameStatsResponseDTO;
 import com.ridarhnizar.userlist.models.AlphabetInfo;
 import com.ridarhnizar.userlist.models.User;
+import com.ridarhnizar.userlist.services.ColumnarUserWriter;
 import com.ridarhnizar.userlist.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+/**
+ * User endpoints, served per dataset under /api/{dataset}/users
+ * Routes without a dataset segment (/api/users) use the default dataset.
+ */
 @RestController
-@RequestMapping("/api/users")
+@RequestMapping({"/api/users", "/api/{dataset}/users"})
 @CrossOrigin(origins = "*") // Allow CORS for frontend integration
 public class UserController {
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private DatasetProperties datasetProperties;
+    
     /**
      * Get paginated list of all users
      * GET /api/users?page=0&size=50
      */
     @GetMapping
     public ResponseEntity<UserResponseDTO> getUsers(
+            @PathVariable(required = false) String dataset,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size) {
         
         UserRequestDTO request = new UserRequestDTO(page, size);
-        UserResponseDTO response = userService.getUsers(request);
+        UserResponseDTO response = userService.getUsers(dataset, request);
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Get paginated list of all users in columnar binary format
+     * GET /api/users?page=0&size=50 with Accept: application/x-userlist-columnar
+     */
+    @GetMapping(produces = ColumnarUserWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> getUsersColumnar(
+            @PathVariable(required = false) String dataset,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        ColumnarUserWriter writer = userService.getUsersColumnar(dataset, new UserRequestDTO(page, size));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ColumnarUserWriter.MEDIA_TYPE))
+                .body(writer::writeTo);
+    }
+    
     /**
      * Get ALL users without pagination
      * GET /api/users/all
      */
     @GetMapping("/all")
-    public ResponseEntity<AllUsersResponseDTO> getAllUsers() {
-        AllUsersResponseDTO response = userService.getAllUsersWithCount();
+    public ResponseEntity<AllUsersResponseDTO> getAllUsers(
+            @PathVariable(required = false) String dataset) {
+        AllUsersResponseDTO response = userService.getAllUsersWithCount(dataset);
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Get ALL users in columnar binary format
+     * GET /api/users/all with Accept: application/x-userlist-columnar
+     * Runs as an async task with its own long timeout, so multi-million-row exports
+     * to slow consumers are not cut off by the app-wide async request timeout
+     */
+    @GetMapping(value = "/all", produces = ColumnarUserWriter.MEDIA_TYPE)
+    public WebAsyncTask<Void> getAllUsersColumnar(
+            @PathVariable(required = false) String dataset,
+            HttpServletResponse response) {
+        ColumnarUserWriter writer = userService.getAllUsersColumnar(dataset);
+        response.setContentType(ColumnarUserWriter.MEDIA_TYPE);
+        return new WebAsyncTask<>(datasetProperties.getExportTimeoutMinutes() * 60_000L, () -> {
+            writer.writeTo(response.getOutputStream());
+            return null;
+        });
+    }
+    
     /**
      * Get users by alphabet letter
      * GET /api/users/letter/A?page=0&size=50
      */
     @GetMapping("/letter/{letter}")
     public ResponseEntity<UserResponseDTO> getUsersByLetter(
+            @PathVariable(required = false) String dataset,
             @PathVariable char letter,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size) {
         
         UserRequestDTO request = new UserRequestDTO(page, size);
-        UserResponseDTO response = userService.getUsersByLetter(letter, request);
+        UserResponseDTO response = userService.getUsersByLetter(dataset, letter, request);
         return ResponseEntity.ok(response);
     }
     
@@ -67,12 +118,13 @@ public class UserController {
      */
     @GetMapping("/search")
     public ResponseEntity<UserResponseDTO> searchUsers(
+            @PathVariable(required = false) String dataset,
             @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size) {
         
         SearchRequestDTO request = new SearchRequestDTO(q, page, size);
-        UserResponseDTO response = userService.searchUsers(request);
+        UserResponseDTO response = userService.searchUsers(dataset, request);
         return ResponseEntity.ok(response);
     }
     
@@ -81,8 +133,9 @@ public class UserController {
      * GET /api/users/alphabet
      */
     @GetMapping("/alphabet")
-    public ResponseEntity<AlphabetResponseDTO> getAlphabetInfo() {
-        AlphabetResponseDTO alphabetInfo = userService.getAlphabetInfo();
+    public ResponseEntity<AlphabetResponseDTO> getAlphabetInfo(
+            @PathVariable(required = false) String dataset) {
+        AlphabetResponseDTO alphabetInfo = userService.getAlphabetInfo(dataset);
         return ResponseEntity.ok(alphabetInfo);
     }
     
@@ -91,8 +144,11 @@ public class UserController {
      * GET /api/users/alphabet/A
      */
     @GetMapping("/alphabet/{letter}")
-    public ResponseEntity<AlphabetInfo> getAlphabetInfo(@PathVariable char letter) {
-        AlphabetInfo info = userService.getAlphabetInfo(letter);
+    public ResponseEntity<AlphabetInfo> getAlphabetInfo(
+            @PathVariable(required = false) String dataset,
+            @PathVariable char letter) {
+        
+        AlphabetInfo info = userService.getAlphabetInfo(dataset, letter);
         if (info != null) {
             return ResponseEntity.ok(info);
         } else {
@@ -100,12 +156,27 @@ public class UserController {
         }
     }
     
+    /**
+     * Get name statistics for selected facets (prefix, length, charClass)
+     * GET /api/users/stats?facets=prefix,length&q=john
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<NameStatsResponseDTO> getNameStats(
+            @PathVariable(required = false) String dataset,
+            @RequestParam(required = false) List<String> facets,
+            @RequestParam(required = false) String q) {
+        
+        NameStatsResponseDTO response = userService.getNameStats(dataset, facets, q);
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get total user count
      * GET /api/users/count
      */
     @GetMapping("/count")
-    public ResponseEntity<Integer> getUserCount() {
-        return ResponseEntity.ok(userService.getTotalUserCount());
+    public ResponseEntity<Integer> getUserCount(
+            @PathVariable(required = false) String dataset) {
+        return ResponseEntity.ok(userService.getTotalUserCount(dataset));
     }
 }
@@ -0,0 +1,101 @@
+package com.ridarhnizar.userlist.dto;
+
+public class DatasetInfoDTO {
+    private String name;
+    private boolean loaded;
+    private int totalCount;
+    private long estimatedBytes;
+    private long requestCount;
+    private double averageLatencyMillis;
+    private double maxLatencyMillis;
+    private long executedQueries;
+    private long coalescedQueries;
+    private double coalescingRatio;
+    
+    public DatasetInfoDTO() {}
+    
+    public DatasetInfoDTO(String name, boolean loaded) {
+        this.name = name;
+        this.loaded = loaded;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    public void setLoaded(boolean loaded) {
+        this.loaded = loaded;
+    }
+    
+    public int getTotalCount() {
+        return totalCount;
+    }
+    
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+    
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+    
+    public void setEstimatedBytes(long estimatedBytes) {
+        this.estimatedBytes = estimatedBytes;
+    }
+    
+    public long getRequestCount() {
+        return requestCount;
+    }
+    
+    public void setRequestCount(long requestCount) {
+        this.requestCount = requestCount;
+    }
+    
+    public double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+    
+    public void setAverageLatencyMillis(double averageLatencyMillis) {
+        this.averageLatencyMillis = averageLatencyMillis;
+    }
+    
+    public double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+    
+    public void setMaxLatencyMillis(double maxLatencyMillis) {
+        this.maxLatencyMillis = maxLatencyMillis;
+    }
+    
+    public long getExecutedQueries() {
+        return executedQueries;
+    }
+    
+    public void setExecutedQueries(long executedQueries) {
+        this.executedQueries = executedQueries;
+    }
+    
+    public long getCoalescedQueries() {
+        return coalescedQueries;
+    }
+    
+    public void setCoalescedQueries(long coalescedQueries) {
+        this.coalescedQueries = coalescedQueries;
+    }
+    
+    public double getCoalescingRatio() {
+        return coalescingRatio;
+    }
+    
+    public void setCoalescingRatio(double coalescingRatio) {
+        this.coalescingRatio = coalescingRatio;
+    }
+}
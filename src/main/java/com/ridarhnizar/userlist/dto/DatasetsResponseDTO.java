@@ -0,0 +1,51 @@
+package com.ridarhnizar.userlist.dto;
+
+import java.util.List;
+
+public class DatasetsResponseDTO {
+    private List<DatasetInfoDTO> datasets;
+    private String defaultDataset;
+    private long usedBytes;
+    private long memoryBudgetBytes;
+    
+    public DatasetsResponseDTO() {}
+    
+    public DatasetsResponseDTO(List<DatasetInfoDTO> datasets, String defaultDataset, long usedBytes, long memoryBudgetBytes) {
+        this.datasets = datasets;
+        this.defaultDataset = defaultDataset;
+        this.usedBytes = usedBytes;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+    
+    public List<DatasetInfoDTO> getDatasets() {
+        return datasets;
+    }
+    
+    public void setDatasets(List<DatasetInfoDTO> datasets) {
+        this.datasets = datasets;
+    }
+    
+    public String getDefaultDataset() {
+        return defaultDataset;
+    }
+    
+    public void setDefaultDataset(String defaultDataset) {
+        this.defaultDataset = defaultDataset;
+    }
+    
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+    
+    public void setUsedBytes(long usedBytes) {
+        this.usedBytes = usedBytes;
+    }
+    
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+    
+    public void setMemoryBudgetBytes(long memoryBudgetBytes) {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+}
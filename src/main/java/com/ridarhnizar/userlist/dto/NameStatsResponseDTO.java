@@ -0,0 +1,77 @@
+package com.ridarhnizar.userlist.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class NameStatsResponseDTO {
+    private int totalCount;
+    private List<String> facets;
+    private Map<String, Integer> prefixCounts;
+    private Map<String, Integer> lengthHistogram;
+    private Map<String, Long> characterClasses;
+    private String query;
+    private Integer queryCount;
+    
+    public NameStatsResponseDTO() {}
+    
+    public NameStatsResponseDTO(int totalCount, List<String> facets) {
+        this.totalCount = totalCount;
+        this.facets = facets;
+    }
+    
+    public int getTotalCount() {
+        return totalCount;
+    }
+    
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+    
+    public List<String> getFacets() {
+        return facets;
+    }
+    
+    public void setFacets(List<String> facets) {
+        this.facets = facets;
+    }
+    
+    public Map<String, Integer> getPrefixCounts() {
+        return prefixCounts;
+    }
+    
+    public void setPrefixCounts(Map<String, Integer> prefixCounts) {
+        this.prefixCounts = prefixCounts;
+    }
+    
+    public Map<String, Integer> getLengthHistogram() {
+        return lengthHistogram;
+    }
+    
+    public void setLengthHistogram(Map<String, Integer> lengthHistogram) {
+        this.lengthHistogram = lengthHistogram;
+    }
+    
+    public Map<String, Long> getCharacterClasses() {
+        return characterClasses;
+    }
+    
+    public void setCharacterClasses(Map<String, Long> characterClasses) {
+        this.characterClasses = characterClasses;
+    }
+    
+    public String getQuery() {
+        return query;
+    }
+    
+    public void setQuery(String query) {
+        this.query = query;
+    }
+    
+    public Integer getQueryCount() {
+        return queryCount;
+    }
+    
+    public void setQueryCount(Integer queryCount) {
+        this.queryCount = queryCount;
+    }
+}
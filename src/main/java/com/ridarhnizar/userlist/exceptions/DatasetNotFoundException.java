@@ -0,0 +1,12 @@
+package com.ridarhnizar.userlist.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class DatasetNotFoundException extends RuntimeException {
+    
+    public DatasetNotFoundException(String dataset) {
+        super("Unknown dataset: " + dataset);
+    }
+}
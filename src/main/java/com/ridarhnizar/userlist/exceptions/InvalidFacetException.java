@@ -0,0 +1,14 @@
+package com.ridarhnizar.userlist.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFacetException extends RuntimeException {
+    
+    public InvalidFacetException(String facet, List<String> supportedFacets) {
+        super("Unknown facet: " + facet + " (supported: " + String.join(", ", supportedFacets) + ")");
+    }
+}
@@ -0,0 +1,63 @@
+package com.ridarhnizar.userlist.services;
+
+import com.ridarhnizar.userlist.dto.UserResponseDTO;
+import com.ridarhnizar.userlist.models.User;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes the columnar binary format written by ColumnarUserWriter,
+ * for Java consumers and for verifying the wire format.
+ */
+public class ColumnarUserReader {
+    
+    private static final byte[] MAGIC = {'U', 'L', 'C', '1'};
+    
+    private ColumnarUserReader() {}
+    
+    public static UserResponseDTO read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a userlist columnar stream");
+        }
+        int totalCount = in.readInt();
+        int page = in.readInt();
+        int pageSize = in.readInt();
+        
+        List<User> users = new ArrayList<>();
+        int rowCount;
+        while ((rowCount = in.readInt()) > 0) {
+            int firstIndex = readVarint(in);
+            int[] lengths = new int[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                lengths[i] = readVarint(in);
+            }
+            for (int i = 0; i < rowCount; i++) {
+                byte[] name = new byte[lengths[i]];
+                in.readFully(name);
+                users.add(new User(new String(name, StandardCharsets.UTF_8), firstIndex + i));
+            }
+        }
+        return new UserResponseDTO(users, totalCount, page, pageSize);
+    }
+    
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
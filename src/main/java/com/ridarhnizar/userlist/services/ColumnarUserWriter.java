@@ -0,0 +1,118 @@
+package com.ridarhnizar.userlist.services;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes a range of users in a compact columnar binary format straight from the
+ * username list, without building User objects or JSON.
+ *
+ * Layout (integers are big-endian int32 unless marked varint; see ColumnarUserReader):
+ *   header: magic "ULC1", totalCount, page, pageSize
+ *   blocks of up to BLOCK_ROWS rows, terminated by a block with rowCount 0:
+ *     rowCount
+ *     first index:   varint index of the block's first row; row i has index firstIndex + i
+ *     name offsets:  rowCount varint UTF-8 byte lengths
+ *     name data:     concatenated UTF-8 bytes
+ */
+public class ColumnarUserWriter {
+    
+    public static final String MEDIA_TYPE = "application/x-userlist-columnar";
+    
+    private static final byte[] MAGIC = {'U', 'L', 'C', '1'};
+    private static final int BLOCK_ROWS = 64 * 1024;
+    
+    private final UserDataset dataset;
+    private final int fromIndex;
+    private final int toIndex;
+    private final int totalCount;
+    private final int page;
+    private final int pageSize;
+    
+    ColumnarUserWriter(UserDataset dataset, int fromIndex, int toIndex, int totalCount, int page, int pageSize) {
+        this.dataset = dataset;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+        this.totalCount = totalCount;
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+    
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.write(MAGIC);
+        out.writeInt(totalCount);
+        out.writeInt(page);
+        out.writeInt(pageSize);
+        
+        ByteBuffer columns = new ByteBuffer();
+        ByteBuffer names = new ByteBuffer();
+        for (int blockStart = fromIndex; blockStart < toIndex; blockStart += BLOCK_ROWS) {
+            int blockEnd = Math.min(toIndex, blockStart + BLOCK_ROWS);
+            columns.reset();
+            names.reset();
+            
+            // Rows in a block are contiguous, so the index column is just the first index
+            columns.writeVarint(blockStart);
+            for (int i = blockStart; i < blockEnd; i++) {
+                int before = names.size;
+                names.writeUtf8(dataset.getUsername(i));
+                columns.writeVarint(names.size - before);
+            }
+            
+            out.writeInt(blockEnd - blockStart);
+            out.write(columns.bytes, 0, columns.size);
+            out.write(names.bytes, 0, names.size);
+        }
+        out.writeInt(0);
+        out.flush();
+    }
+    
+    /**
+     * Reusable growable byte buffer for one block.
+     */
+    private static class ByteBuffer {
+        private byte[] bytes = new byte[64 * 1024];
+        private int size;
+        
+        void reset() {
+            size = 0;
+        }
+        
+        void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+        
+        void writeUtf8(String value) {
+            int length = value.length();
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    // Rare non-ASCII name: fall back to the JDK encoder for the whole string
+                    size -= i;
+                    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                    ensureCapacity(encoded.length);
+                    System.arraycopy(encoded, 0, bytes, size, encoded.length);
+                    size += encoded.length;
+                    return;
+                }
+                bytes[size++] = (byte) c;
+            }
+        }
+        
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.ridarhnizar.userlist.services;
+
+import com.ridarhnizar.userlist.config.DatasetProperties;
+import com.ridarhnizar.userlist.dto.DatasetInfoDTO;
+import com.ridarhnizar.userlist.dto.DatasetsResponseDTO;
+import com.ridarhnizar.userlist.exceptions.DatasetNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads the configured datasets on first use (the default one at startup) and keeps
+ * their combined estimated size under the memory budget by evicting the least
+ * recently used ones.
+ */
+@Service
+public class DatasetRegistry {
+    
+    @Autowired
+    private DatasetProperties properties;
+    
+    @Autowired
+    private ResourceLoader resourceLoader;
+    
+    // One future per dataset name: the first caller loads outside the map, others wait on it
+    private final Map<String, CompletableFuture<UserDataset>> datasets = new ConcurrentHashMap<>();
+    
+    /**
+     * Fail fast on misconfiguration: every configured location must exist
+     * and the default dataset is loaded before the app accepts requests.
+     */
+    @PostConstruct
+    public void initializeDatasets() {
+        if (!properties.getDatasets().containsKey(properties.getDefaultDataset())) {
+            throw new IllegalStateException("Default dataset " + properties.getDefaultDataset() + " is not configured");
+        }
+        for (Map.Entry<String, String> entry : properties.getDatasets().entrySet()) {
+            if (!resourceLoader.getResource(entry.getValue()).exists()) {
+                throw new IllegalStateException("Dataset " + entry.getKey() + " not found at " + entry.getValue());
+            }
+        }
+        getDataset(null);
+    }
+    
+    /**
+     * Get a dataset by name, loading it on first use
+     * A null or empty name resolves to the default dataset.
+     */
+    public UserDataset getDataset(String name) {
+        String datasetName = (name == null || name.isEmpty()) ? properties.getDefaultDataset() : name;
+        CompletableFuture<UserDataset> future = datasets.get(datasetName);
+        if (future == null) {
+            String location = properties.getDatasets().get(datasetName);
+            if (location == null) {
+                throw new DatasetNotFoundException(datasetName);
+            }
+            CompletableFuture<UserDataset> loading = new CompletableFuture<>();
+            future = datasets.putIfAbsent(datasetName, loading);
+            if (future == null) {
+                future = loading;
+                load(datasetName, location, loading);
+            }
+        }
+        
+        UserDataset dataset;
+        try {
+            dataset = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        dataset.touch();
+        return dataset;
+    }
+    
+    private void load(String name, String location, CompletableFuture<UserDataset> loading) {
+        UserDataset dataset;
+        try {
+            dataset = new UserDataset(name, resourceLoader.getResource(location));
+        } catch (IOException | RuntimeException e) {
+            // Forget the failed attempt so the next request retries the load
+            datasets.remove(name, loading);
+            loading.completeExceptionally(new RuntimeException("Failed to load dataset " + name + " from " + location, e));
+            return;
+        }
+        publish(dataset, loading);
+    }
+    
+    /**
+     * Make room for a freshly loaded dataset, then publish it. Budget checks and
+     * publication are serialized, so two loads finishing together see each other
+     * and only evict an already published dataset when both cannot fit.
+     */
+    private synchronized void publish(UserDataset incoming, CompletableFuture<UserDataset> loading) {
+        long budgetBytes = getMemoryBudgetBytes();
+        long usedBytes = getUsedBytes() + incoming.getEstimatedBytes();
+        if (usedBytes > budgetBytes) {
+            List<UserDataset> candidates = new ArrayList<>();
+            for (String name : datasets.keySet()) {
+                UserDataset dataset = getLoadedDataset(name);
+                if (dataset != null) {
+                    candidates.add(dataset);
+                }
+            }
+            candidates.sort(Comparator.comparingLong(UserDataset::getLastAccessNanos));
+            for (UserDataset candidate : candidates) {
+                if (usedBytes <= budgetBytes) break;
+                CompletableFuture<UserDataset> future = datasets.get(candidate.getName());
+                if (future != null && datasets.remove(candidate.getName(), future)) {
+                    usedBytes -= candidate.getEstimatedBytes();
+                }
+            }
+        }
+        loading.complete(incoming);
+    }
+    
+    /**
+     * Per-dataset memory and latency metrics for all configured datasets
+     */
+    public DatasetsResponseDTO getDatasetsInfo() {
+        List<DatasetInfoDTO> result = new ArrayList<>();
+        for (String name : properties.getDatasets().keySet()) {
+            UserDataset dataset = getLoadedDataset(name);
+            DatasetInfoDTO info = new DatasetInfoDTO(name, dataset != null);
+            if (dataset != null) {
+                long requests = dataset.getRequestCount();
+                info.setTotalCount(dataset.getTotalUserCount());
+                info.setEstimatedBytes(dataset.getEstimatedBytes());
+                info.setRequestCount(requests);
+                info.setAverageLatencyMillis(requests > 0 ? dataset.getTotalLatencyNanos() / 1_000_000.0 / requests : 0);
+                info.setMaxLatencyMillis(dataset.getMaxLatencyNanos() / 1_000_000.0);
+                
+                // Share of search/export requests that joined an in-flight scan instead of running one
+                long executed = dataset.getExecutedQueries();
+                long coalesced = dataset.getCoalescedQueries();
+                info.setExecutedQueries(executed);
+                info.setCoalescedQueries(coalesced);
+                info.setCoalescingRatio(executed + coalesced > 0 ? (double) coalesced / (executed + coalesced) : 0);
+            }
+            result.add(info);
+        }
+        return new DatasetsResponseDTO(result, properties.getDefaultDataset(), getUsedBytes(), getMemoryBudgetBytes());
+    }
+    
+    /**
+     * Currently loaded dataset, or null if it is not in memory (or still loading)
+     */
+    public UserDataset getLoadedDataset(String name) {
+        CompletableFuture<UserDataset> future = name != null ? datasets.get(name) : null;
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+    
+    public long getUsedBytes() {
+        long usedBytes = 0;
+        for (String name : datasets.keySet()) {
+            UserDataset dataset = getLoadedDataset(name);
+            if (dataset != null) {
+                usedBytes += dataset.getEstimatedBytes();
+            }
+        }
+        return usedBytes;
+    }
+    
+    public long getMemoryBudgetBytes() {
+        return properties.getMemoryBudgetMb() * 1024 * 1024;
+    }
+}
@@ -0,0 +1,147 @@
+package com.ridarhnizar.userlist.services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Accumulates name statistics (two-letter prefixes, length histogram and
+ * character classes) over a range of usernames using only primitive arrays,
+ * so a full pass does not allocate per row.
+ */
+class NameStatsCollector {
+    
+    static final int MAX_LENGTH_BUCKET = 64;
+    
+    // Prefix slots: 0-25 = A-Z, 26 = any other character, 27 = no character (single-letter names)
+    private static final int OTHER_SLOT = 26;
+    private static final int NONE_SLOT = 27;
+    private static final int PREFIX_SLOTS = 28;
+    
+    private static final String[] CHARACTER_CLASSES = {"uppercase", "lowercase", "digit", "whitespace", "other"};
+    private static final int CHUNK_SIZE = 64 * 1024;
+    
+    private final int[] prefixCounts = new int[PREFIX_SLOTS * PREFIX_SLOTS];
+    private final int[] lengthCounts = new int[MAX_LENGTH_BUCKET + 1];
+    private final long[] characterClassCounts = new long[CHARACTER_CLASSES.length];
+    
+    /**
+     * Compute statistics for all usernames in one parallel pass.
+     * Each chunk fills its own collector and the results are merged.
+     */
+    static NameStatsCollector collect(List<String> usernames) {
+        return collect(usernames.size(), i -> usernames.get(i));
+    }
+    
+    /**
+     * Compute statistics for the usernames at the given indices (e.g. search matches).
+     */
+    static NameStatsCollector collect(List<String> usernames, int[] indices) {
+        return collect(indices.length, i -> usernames.get(indices[i]));
+    }
+    
+    private static NameStatsCollector collect(int size, IntFunction<String> username) {
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    NameStatsCollector collector = new NameStatsCollector();
+                    int end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        collector.accept(username.apply(i));
+                    }
+                    return collector;
+                })
+                .reduce(new NameStatsCollector(), NameStatsCollector::merge);
+    }
+    
+    private void accept(String username) {
+        int length = username.length();
+        lengthCounts[Math.min(length, MAX_LENGTH_BUCKET)]++;
+        
+        int first = length > 0 ? prefixSlot(username.charAt(0)) : NONE_SLOT;
+        int second = length > 1 ? prefixSlot(username.charAt(1)) : NONE_SLOT;
+        prefixCounts[first * PREFIX_SLOTS + second]++;
+        
+        for (int i = 0; i < length; i++) {
+            characterClassCounts[characterClass(username.charAt(i))]++;
+        }
+    }
+    
+    private NameStatsCollector merge(NameStatsCollector other) {
+        NameStatsCollector merged = new NameStatsCollector();
+        for (int i = 0; i < prefixCounts.length; i++) {
+            merged.prefixCounts[i] = prefixCounts[i] + other.prefixCounts[i];
+        }
+        for (int i = 0; i < lengthCounts.length; i++) {
+            merged.lengthCounts[i] = lengthCounts[i] + other.lengthCounts[i];
+        }
+        for (int i = 0; i < characterClassCounts.length; i++) {
+            merged.characterClassCounts[i] = characterClassCounts[i] + other.characterClassCounts[i];
+        }
+        return merged;
+    }
+    
+    private static int prefixSlot(char c) {
+        char upper = Character.toUpperCase(c);
+        return upper >= 'A' && upper <= 'Z' ? upper - 'A' : OTHER_SLOT;
+    }
+    
+    private static int characterClass(char c) {
+        if (Character.isUpperCase(c)) return 0;
+        if (Character.isLowerCase(c)) return 1;
+        if (Character.isDigit(c)) return 2;
+        if (Character.isWhitespace(c)) return 3;
+        return 4;
+    }
+    
+    private static String prefixLabel(int slot) {
+        if (slot == OTHER_SLOT) return "#";
+        if (slot == NONE_SLOT) return "";
+        return String.valueOf((char) ('A' + slot));
+    }
+    
+    /**
+     * Two-letter prefix counts keyed by uppercase prefix, e.g. "AB".
+     * Non A-Z characters are reported as '#'; single-letter names use a one-character key.
+     */
+    Map<String, Integer> getPrefixCounts() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int first = 0; first < PREFIX_SLOTS; first++) {
+            for (int second = 0; second < PREFIX_SLOTS; second++) {
+                int count = prefixCounts[first * PREFIX_SLOTS + second];
+                if (count > 0) {
+                    result.put(prefixLabel(first) + prefixLabel(second), count);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Name length histogram; lengths of MAX_LENGTH_BUCKET and above share the last bucket.
+     */
+    Map<String, Integer> getLengthHistogram() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int length = 0; length <= MAX_LENGTH_BUCKET; length++) {
+            if (lengthCounts[length] > 0) {
+                String key = length == MAX_LENGTH_BUCKET ? MAX_LENGTH_BUCKET + "+" : String.valueOf(length);
+                result.put(key, lengthCounts[length]);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Total number of characters per character class across all names.
+     */
+    Map<String, Long> getCharacterClasses() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < CHARACTER_CLASSES.length; i++) {
+            result.put(CHARACTER_CLASSES[i], characterClassCounts[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,216 @@
+package com.ridarhnizar.userlist.services;
+
+import com.ridarhnizar.userlist.models.AlphabetInfo;
+import com.ridarhnizar.userlist.models.User;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * One named, immutable username list with its alphabet index and cached statistics.
+ * A reload creates a new instance, so anything cached here belongs to exactly one dataset version.
+ */
+public class UserDataset {
+    
+    // Rough per-row heap cost: String header + compact byte[] header + list reference
+    private static final long ESTIMATED_ROW_OVERHEAD = 56;
+    private static final String EXPORT_KEY = "all";
+    
+    private final String name;
+    private final List<String> allUsernames = new ArrayList<>();
+    private final Map<Character, AlphabetInfo> alphabetIndex = new HashMap<>();
+    private int totalUserCount = 0;
+    private long estimatedBytes = 0;
+    private volatile NameStatsCollector nameStats;
+    
+    // Identical concurrent searches and exports share one scan
+    private final SingleFlight<String, int[]> searchFlight = new SingleFlight<>();
+    private final SingleFlight<String, List<User>> exportFlight = new SingleFlight<>();
+    
+    private final AtomicLong lastAccessNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    
+    UserDataset(String name, Resource resource) throws IOException {
+        this.name = name;
+        loadUserData(resource);
+        buildAlphabetIndex();
+    }
+    
+    private void loadUserData(Resource resource) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String username = line.trim();
+                if (!username.isEmpty()) {
+                    allUsernames.add(username);
+                    estimatedBytes += ESTIMATED_ROW_OVERHEAD + username.length();
+                }
+            }
+        }
+        
+        totalUserCount = allUsernames.size();
+    }
+    
+    private void buildAlphabetIndex() {
+        char currentLetter = '\0';
+        int startIndex = 0;
+        int count = 0;
+        
+        for (int i = 0; i < allUsernames.size(); i++) {
+            String username = allUsernames.get(i);
+            if (username.isEmpty()) continue;
+            
+            char firstLetter = Character.toUpperCase(username.charAt(0));
+            
+            if (firstLetter != currentLetter) {
+                // Save previous letter info if exists
+                if (currentLetter != '\0') {
+                    alphabetIndex.put(currentLetter, new AlphabetInfo(currentLetter, count, startIndex, i - 1));
+                }
+                
+                // Start new letter
+                currentLetter = firstLetter;
+                startIndex = i;
+                count = 1;
+            } else {
+                count++;
+            }
+        }
+        
+        // Don't forget the last letter
+        if (currentLetter != '\0') {
+            alphabetIndex.put(currentLetter, new AlphabetInfo(currentLetter, count, startIndex, allUsernames.size() - 1));
+        }
+    }
+    
+    /**
+     * Indices of all usernames containing the (lowercased, trimmed) query, in ascending order.
+     * Concurrent calls with the same query share one scan; callers must not modify the result.
+     */
+    int[] findMatches(String query) {
+        return searchFlight.execute(query, () -> scanMatches(query));
+    }
+    
+    /**
+     * Rows are scanned in parallel without lowercasing copies of each username.
+     */
+    private int[] scanMatches(String query) {
+        return IntStream.range(0, allUsernames.size())
+                .parallel()
+                .filter(i -> containsIgnoreCase(allUsernames.get(i), query))
+                .toArray();
+    }
+    
+    private static boolean containsIgnoreCase(String username, String query) {
+        int last = username.length() - query.length();
+        for (int i = 0; i <= last; i++) {
+            if (username.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * All users as a read-only list; concurrent exports share one build.
+     */
+    List<User> getAllUsers() {
+        return exportFlight.execute(EXPORT_KEY, () -> {
+            List<User> allUsers = new ArrayList<>(allUsernames.size());
+            for (int i = 0; i < allUsernames.size(); i++) {
+                allUsers.add(new User(allUsernames.get(i), i));
+            }
+            return Collections.unmodifiableList(allUsers);
+        });
+    }
+    
+    NameStatsCollector getNameStats() {
+        NameStatsCollector stats = nameStats;
+        if (stats == null) {
+            synchronized (this) {
+                stats = nameStats;
+                if (stats == null) {
+                    stats = NameStatsCollector.collect(allUsernames);
+                    nameStats = stats;
+                }
+            }
+        }
+        return stats;
+    }
+    
+    /**
+     * Statistics over a subset of rows, e.g. search matches; not cached.
+     */
+    NameStatsCollector getNameStats(int[] indices) {
+        return NameStatsCollector.collect(allUsernames, indices);
+    }
+    
+    void touch() {
+        lastAccessNanos.set(System.nanoTime());
+    }
+    
+    public void recordLatency(long nanos) {
+        requestCount.increment();
+        totalLatencyNanos.add(nanos);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getUsername(int index) {
+        return allUsernames.get(index);
+    }
+    
+    public int getTotalUserCount() {
+        return totalUserCount;
+    }
+    
+    public AlphabetInfo getAlphabetInfo(char letter) {
+        return alphabetIndex.get(Character.toUpperCase(letter));
+    }
+    
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+    
+    long getLastAccessNanos() {
+        return lastAccessNanos.get();
+    }
+    
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+    
+    public long getTotalLatencyNanos() {
+        return totalLatencyNanos.sum();
+    }
+    
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+    
+    /**
+     * Searches and exports that actually scanned the list
+     */
+    public long getExecutedQueries() {
+        return searchFlight.getExecutions() + exportFlight.getExecutions();
+    }
+    
+    /**
+     * Searches and exports served by joining an identical in-flight scan
+     */
+    public long getCoalescedQueries() {
+        return searchFlight.getCoalesced() + exportFlight.getCoalesced();
+    }
+}
@@ -5,86 +5,29 @@ import com.ridarhnizar.userlist.dto.UserResponseDTO;
 import com.ridarhnizar.userlist.dto.SearchRequestDTO;
 import com.ridarhnizar.userlist.dto.AlphabetResponseDTO;
 import com.ridarhnizar.userlist.dto.AllUsersResponseDTO;
+import com.ridarhnizar.userlist.dto.NameStatsResponseDTO;
+import com.ridarhnizar.userlist.exceptions.InvalidFacetException;
 import com.ridarhnizar.userlist.models.AlphabetInfo;
 import com.ridarhnizar.userlist.models.User;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import jakarta.annotation.PostConstruct;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class UserService {
     
-    private static final String USERNAMES_FILE = "usernames.txt";
-    private int totalUserCount = 0;
-    private Map<Character, AlphabetInfo> alphabetIndex = new ConcurrentHashMap<>();
-    private List<String> allUsernames = new ArrayList<>();
-    
-    @PostConstruct
-    public void initializeUserData() {
-        try {
-            loadUserData();
-            buildAlphabetIndex();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to initialize user data", e);
-        }
-    }
+    public static final String FACET_PREFIX = "prefix";
+    public static final String FACET_LENGTH = "length";
+    public static final String FACET_CHARACTER_CLASS = "charClass";
+    public static final List<String> DEFAULT_FACETS = List.of(FACET_PREFIX, FACET_LENGTH, FACET_CHARACTER_CLASS);
     
-    private void loadUserData() throws IOException {
-        ClassPathResource resource = new ClassPathResource(USERNAMES_FILE);
-        
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (!line.trim().isEmpty()) {
-                    allUsernames.add(line.trim());
-                }
-            }
-        }
-        
-        totalUserCount = allUsernames.size();
-    }
-    
-    private void buildAlphabetIndex() {
-        char currentLetter = '\0';
-        int startIndex = 0;
-        int count = 0;
-        
-        for (int i = 0; i < allUsernames.size(); i++) {
-            String username = allUsernames.get(i);
-            if (username.isEmpty()) continue;
-            
-            char firstLetter = Character.toUpperCase(username.charAt(0));
-            
-            if (firstLetter != currentLetter) {
-                // Save previous letter info if exists
-                if (currentLetter != '\0') {
-                    alphabetIndex.put(currentLetter, new AlphabetInfo(currentLetter, count, startIndex, i - 1));
-                }
-                
-                // Start new letter
-                currentLetter = firstLetter;
-                startIndex = i;
-                count = 1;
-            } else {
-                count++;
-            }
-        }
-        
-        // Don't forget the last letter
-        if (currentLetter != '\0') {
-            alphabetIndex.put(currentLetter, new AlphabetInfo(currentLetter, count, startIndex, allUsernames.size() - 1));
-        }
-    }
+    @Autowired
+    private DatasetRegistry datasetRegistry;
     
-    public UserResponseDTO getUsers(UserRequestDTO request) {
+    public UserResponseDTO getUsers(String dataset, UserRequestDTO request) {
+        UserDataset data = datasetRegistry.getDataset(dataset);
+        int totalUserCount = data.getTotalUserCount();
         int page = request.getValidatedPage();
         int pageSize = request.getValidatedSize();
         
@@ -97,12 +40,17 @@ public class UserService {
         
         List<User> users = new ArrayList<>();
         for (int i = startIndex; i < endIndex; i++) {
-            users.add(new User(allUsernames.get(i), i));
+            users.add(new User(data.getUsername(i), i));
         }
         
         return new UserResponseDTO(users, totalUserCount, page, pageSize);
     }
     
+    // Overloaded method for backward compatibility
+    public UserResponseDTO getUsers(UserRequestDTO request) {
+        return getUsers(null, request);
+    }
+    
     // Overloaded method for backward compatibility
     public UserResponseDTO getUsers(int page, int pageSize) {
         return getUsers(new UserRequestDTO(page, pageSize));
@@ -110,28 +58,59 @@ public class UserService {
     
     /**
      * Get ALL users without pagination
-     * Returns the complete list of all users
+     * Returns the complete, read-only list of all users
+     * Concurrent calls share a single build of the list
      */
+    public List<User> getAllUsers(String dataset) {
+        return datasetRegistry.getDataset(dataset).getAllUsers();
+    }
+    
+    // Overloaded method for backward compatibility
     public List<User> getAllUsers() {
-        List<User> allUsers = new ArrayList<>();
-        for (int i = 0; i < allUsernames.size(); i++) {
-            allUsers.add(new User(allUsernames.get(i), i));
-        }
-        return allUsers;
+        return getAllUsers(null);
     }
     
     /**
      * Get ALL users with count in response DTO
      * Returns the complete list of all users with total count
      */
+    public AllUsersResponseDTO getAllUsersWithCount(String dataset) {
+        List<User> allUsers = getAllUsers(dataset);
+        return new AllUsersResponseDTO(allUsers, allUsers.size());
+    }
+    
+    // Overloaded method for backward compatibility
     public AllUsersResponseDTO getAllUsersWithCount() {
-        List<User> allUsers = getAllUsers();
-        return new AllUsersResponseDTO(allUsers, totalUserCount);
+        return getAllUsersWithCount(null);
     }
     
-    public UserResponseDTO getUsersByLetter(char letter, UserRequestDTO request) {
-        letter = Character.toUpperCase(letter);
-        AlphabetInfo info = alphabetIndex.get(letter);
+    /**
+     * Get a page of users as a columnar binary writer
+     * Same page bounds as getUsers, written without User objects
+     */
+    public ColumnarUserWriter getUsersColumnar(String dataset, UserRequestDTO request) {
+        UserDataset data = datasetRegistry.getDataset(dataset);
+        int totalUserCount = data.getTotalUserCount();
+        int page = request.getValidatedPage();
+        int pageSize = request.getValidatedSize();
+        
+        int startIndex = (int) Math.min((long) page * pageSize, totalUserCount);
+        int endIndex = Math.min(startIndex + pageSize, totalUserCount);
+        return new ColumnarUserWriter(data, startIndex, endIndex, totalUserCount, page, pageSize);
+    }
+    
+    /**
+     * Get ALL users as a columnar binary writer
+     */
+    public ColumnarUserWriter getAllUsersColumnar(String dataset) {
+        UserDataset data = datasetRegistry.getDataset(dataset);
+        int totalUserCount = data.getTotalUserCount();
+        return new ColumnarUserWriter(data, 0, totalUserCount, totalUserCount, 0, totalUserCount);
+    }
+    
+    public UserResponseDTO getUsersByLetter(String dataset, char letter, UserRequestDTO request) {
+        UserDataset data = datasetRegistry.getDataset(dataset);
+        AlphabetInfo info = data.getAlphabetInfo(letter);
         
         if (info == null) {
             return new UserResponseDTO(new ArrayList<>(), 0, request.getValidatedPage(), request.getValidatedSize());
@@ -149,7 +128,7 @@ public class UserService {
         
         List<User> users = new ArrayList<>();
         for (int i = startIndex; i < endIndex; i++) {
-            users.add(new User(allUsernames.get(i), i));
+            users.add(new User(data.getUsername(i), i));
         }
         
         int totalPages = (int) Math.ceil((double) info.getCount() / pageSize);
@@ -161,41 +140,46 @@ public class UserService {
         return response;
     }
     
+    // Overloaded method for backward compatibility
+    public UserResponseDTO getUsersByLetter(char letter, UserRequestDTO request) {
+        return getUsersByLetter(null, letter, request);
+    }
+    
     // Overloaded method for backward compatibility
     public UserResponseDTO getUsersByLetter(char letter, int page, int pageSize) {
         return getUsersByLetter(letter, new UserRequestDTO(page, pageSize));
     }
     
-    public UserResponseDTO searchUsers(SearchRequestDTO request) {
+    public UserResponseDTO searchUsers(String dataset, SearchRequestDTO request) {
         String query = request.getValidatedQuery();
         if (query.isEmpty()) {
-            return getUsers(new UserRequestDTO(request.getValidatedPage(), request.getValidatedSize()));
+            return getUsers(dataset, new UserRequestDTO(request.getValidatedPage(), request.getValidatedSize()));
         }
         
+        UserDataset data = datasetRegistry.getDataset(dataset);
         query = query.toLowerCase();
         int page = request.getValidatedPage();
         int pageSize = request.getValidatedSize();
         
-        List<User> matchingUsers = new ArrayList<>();
-        
-        // Simple linear search - for better performance with 10M records, 
-        // consider implementing binary search or using a search index
-        for (int i = 0; i < allUsernames.size(); i++) {
-            String username = allUsernames.get(i).toLowerCase();
-            if (username.contains(query)) {
-                matchingUsers.add(new User(allUsernames.get(i), i));
-            }
-        }
+        int[] matches = data.findMatches(query);
         
         int startIndex = page * pageSize;
-        int endIndex = Math.min(startIndex + pageSize, matchingUsers.size());
+        int endIndex = Math.min(startIndex + pageSize, matches.length);
         
-        if (startIndex >= matchingUsers.size()) {
-            return new UserResponseDTO(new ArrayList<>(), matchingUsers.size(), page, pageSize);
+        if (startIndex >= matches.length) {
+            return new UserResponseDTO(new ArrayList<>(), matches.length, page, pageSize);
         }
         
-        List<User> pageUsers = matchingUsers.subList(startIndex, endIndex);
-        return new UserResponseDTO(pageUsers, matchingUsers.size(), page, pageSize);
+        List<User> pageUsers = new ArrayList<>(endIndex - startIndex);
+        for (int i = startIndex; i < endIndex; i++) {
+            pageUsers.add(new User(data.getUsername(matches[i]), matches[i]));
+        }
+        return new UserResponseDTO(pageUsers, matches.length, page, pageSize);
+    }
+    
+    // Overloaded method for backward compatibility
+    public UserResponseDTO searchUsers(SearchRequestDTO request) {
+        return searchUsers(null, request);
     }
     
     // Overloaded method for backward compatibility
@@ -203,22 +187,25 @@ public class UserService {
         return searchUsers(new SearchRequestDTO(query, page, pageSize));
     }
     
+    public AlphabetResponseDTO getAlphabetInfo(String dataset) {
+        UserDataset data = datasetRegistry.getDataset(dataset);
+        return new AlphabetResponseDTO(getAlphabetInfoList(data), data.getTotalUserCount());
+    }
+    
+    // Overloaded method for backward compatibility
     public AlphabetResponseDTO getAlphabetInfo() {
-        List<AlphabetInfo> result = new ArrayList<>();
-        for (char c = 'A'; c <= 'Z'; c++) {
-            AlphabetInfo info = alphabetIndex.get(c);
-            if (info != null) {
-                result.add(info);
-            }
-        }
-        return new AlphabetResponseDTO(result, totalUserCount);
+        return getAlphabetInfo((String) null);
     }
     
     // Overloaded method for backward compatibility
     public List<AlphabetInfo> getAlphabetInfoList() {
+        return getAlphabetInfoList(datasetRegistry.getDataset(null));
+    }
+    
+    private List<AlphabetInfo> getAlphabetInfoList(UserDataset data) {
         List<AlphabetInfo> result = new ArrayList<>();
         for (char c = 'A'; c <= 'Z'; c++) {
-            AlphabetInfo info = alphabetIndex.get(c);
+            AlphabetInfo info = data.getAlphabetInfo(c);
             if (info != null) {
                 result.add(info);
             }
@@ -226,11 +213,73 @@ public class UserService {
         return result;
     }
     
+    /**
+     * Get name statistics for the requested facets
+     * Without a query, facets cover the whole dataset and are computed once in a single
+     * parallel pass and cached. With a query, facets cover only the matching names,
+     * reusing the (coalesced) search result.
+     */
+    public NameStatsResponseDTO getNameStats(String dataset, List<String> facets, String query) {
+        List<String> selected = validateFacets(facets);
+        UserDataset data = datasetRegistry.getDataset(dataset);
+        
+        NameStatsResponseDTO response = new NameStatsResponseDTO(data.getTotalUserCount(), selected);
+        NameStatsCollector stats;
+        String normalizedQuery = query != null ? query.trim() : "";
+        if (normalizedQuery.isEmpty()) {
+            stats = data.getNameStats();
+        } else {
+            int[] matches = data.findMatches(normalizedQuery.toLowerCase());
+            response.setQuery(normalizedQuery);
+            response.setQueryCount(matches.length);
+            stats = data.getNameStats(matches);
+        }
+        
+        if (selected.contains(FACET_PREFIX)) {
+            response.setPrefixCounts(stats.getPrefixCounts());
+        }
+        if (selected.contains(FACET_LENGTH)) {
+            response.setLengthHistogram(stats.getLengthHistogram());
+        }
+        if (selected.contains(FACET_CHARACTER_CLASS)) {
+            response.setCharacterClasses(stats.getCharacterClasses());
+        }
+        return response;
+    }
+    
+    private List<String> validateFacets(List<String> facets) {
+        if (facets == null || facets.isEmpty()) {
+            return DEFAULT_FACETS;
+        }
+        Set<String> unique = new LinkedHashSet<>();
+        for (String facet : facets) {
+            String name = facet.trim();
+            if (!DEFAULT_FACETS.contains(name)) {
+                throw new InvalidFacetException(name, DEFAULT_FACETS);
+            }
+            unique.add(name);
+        }
+        return new ArrayList<>(unique);
+    }
+    
+    // Overloaded method for backward compatibility
+    public NameStatsResponseDTO getNameStats(List<String> facets, String query) {
+        return getNameStats(null, facets, query);
+    }
+    
+    public int getTotalUserCount(String dataset) {
+        return datasetRegistry.getDataset(dataset).getTotalUserCount();
+    }
+    
     public int getTotalUserCount() {
-        return totalUserCount;
+        return getTotalUserCount(null);
+    }
+    
+    public AlphabetInfo getAlphabetInfo(String dataset, char letter) {
+        return datasetRegistry.getDataset(dataset).getAlphabetInfo(letter);
     }
     
     public AlphabetInfo getAlphabetInfo(char letter) {
-        return alphabetIndex.get(Character.toUpperCase(letter));
+        return getAlphabetInfo(null, letter);
     }
 }
@@ -0,0 +1,118 @@
+package com.ridarhnizar.userlist.controllers;
+
+import com.jayway.jsonpath.JsonPath;
+import com.ridarhnizar.userlist.config.DatasetProperties;
+import com.ridarhnizar.userlist.services.DatasetRegistry;
+import com.ridarhnizar.userlist.services.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DatasetControllerTest {
+    
+    // Large enough that a search scan takes long enough for identical requests to overlap
+    private static final int ROWS = 300_000;
+    private static final int CALLERS = 16;
+    private static final int MAX_BURSTS = 50;
+    
+    @TempDir
+    Path dir;
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private UserService userService;
+    private DatasetRegistry registry;
+    private MockMvc mockMvc;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        List<String> names = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            names.add(String.format("User%06d", i));
+        }
+        Path file = dir.resolve("usernames.txt");
+        Files.write(file, names, StandardCharsets.UTF_8);
+        
+        DatasetProperties properties = new DatasetProperties();
+        properties.setDatasets(Map.of("default", file.toUri().toString()));
+        registry = new DatasetRegistry();
+        ReflectionTestUtils.setField(registry, "properties", properties);
+        ReflectionTestUtils.setField(registry, "resourceLoader", new DefaultResourceLoader());
+        registry.initializeDatasets();
+        
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "datasetRegistry", registry);
+        DatasetController datasetController = new DatasetController();
+        ReflectionTestUtils.setField(datasetController, "datasetRegistry", registry);
+        mockMvc = MockMvcBuilders.standaloneSetup(datasetController).build();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void reportsCoalescingRatioAfterConcurrentIdenticalSearches() throws Exception {
+        // Overlap is timing dependent, so send bursts until at least one search was coalesced
+        int searches = 0;
+        for (int burst = 0; burst < MAX_BURSTS && registry.getDataset(null).getCoalescedQueries() == 0; burst++) {
+            searches += searchBurst("user01");
+        }
+        
+        String json = mockMvc.perform(get("/api/datasets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.datasets[0].name").value("default"))
+                .andReturn().getResponse().getContentAsString();
+        
+        long executed = ((Number) JsonPath.read(json, "$.datasets[0].executedQueries")).longValue();
+        long coalesced = ((Number) JsonPath.read(json, "$.datasets[0].coalescedQueries")).longValue();
+        double ratio = ((Number) JsonPath.read(json, "$.datasets[0].coalescingRatio")).doubleValue();
+        
+        assertTrue(coalesced > 0, "No identical concurrent searches were coalesced");
+        assertEquals(searches, executed + coalesced);
+        assertEquals((double) coalesced / searches, ratio, 1e-9);
+    }
+    
+    /**
+     * Release CALLERS identical searches at once and wait for all of them.
+     */
+    private int searchBurst(String query) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return userService.searchUsers(query, 0, 50);
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        return CALLERS;
+    }
+}
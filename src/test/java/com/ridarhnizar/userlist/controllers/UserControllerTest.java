@@ -0,0 +1,113 @@
+package com.ridarhnizar.userlist.controllers;
+
+import com.ridarhnizar.userlist.config.DatasetProperties;
+import com.ridarhnizar.userlist.services.DatasetRegistry;
+import com.ridarhnizar.userlist.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+    
+    @TempDir
+    Path dir;
+    
+    private MockMvc mockMvc;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        Map<String, String> datasets = new LinkedHashMap<>();
+        datasets.put("default", writeDataset("default.txt", List.of("Alice", "Bob", "Carol")));
+        datasets.put("tenant-a", writeDataset("tenant-a.txt", List.of("Zed")));
+        DatasetProperties properties = new DatasetProperties();
+        properties.setDatasets(datasets);
+        
+        DatasetRegistry registry = new DatasetRegistry();
+        ReflectionTestUtils.setField(registry, "properties", properties);
+        ReflectionTestUtils.setField(registry, "resourceLoader", new DefaultResourceLoader());
+        registry.initializeDatasets();
+        
+        UserService userService = new UserService();
+        ReflectionTestUtils.setField(userService, "datasetRegistry", registry);
+        UserController userController = new UserController();
+        ReflectionTestUtils.setField(userController, "userService", userService);
+        ReflectionTestUtils.setField(userController, "datasetProperties", properties);
+        mockMvc = MockMvcBuilders.standaloneSetup(userController).build();
+    }
+    
+    private String writeDataset(String fileName, List<String> names) throws IOException {
+        Path file = dir.resolve(fileName);
+        Files.write(file, names, StandardCharsets.UTF_8);
+        return file.toUri().toString();
+    }
+    
+    @Test
+    void routesWithoutDatasetUseDefault() throws Exception {
+        mockMvc.perform(get("/api/users/count"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+        mockMvc.perform(get("/api/users/letter/B"))
+                .andExpect(jsonPath("$.users[0].name").value("Bob"));
+    }
+    
+    @Test
+    void routesWithDatasetUseThatDataset() throws Exception {
+        mockMvc.perform(get("/api/tenant-a/users/count"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+        mockMvc.perform(get("/api/tenant-a/users/letter/Z"))
+                .andExpect(jsonPath("$.users[0].name").value("Zed"));
+        mockMvc.perform(get("/api/tenant-a/users/letter/B"))
+                .andExpect(jsonPath("$.totalCount").value(0));
+    }
+    
+    @Test
+    void statsWithQueryCoverOnlyMatchingNames() throws Exception {
+        mockMvc.perform(get("/api/users/stats").param("facets", "prefix").param("q", "o"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queryCount").value(2))
+                .andExpect(jsonPath("$.prefixCounts.BO").value(1))
+                .andExpect(jsonPath("$.prefixCounts.CA").value(1))
+                .andExpect(jsonPath("$.prefixCounts.AL").doesNotExist());
+    }
+    
+    @Test
+    void statsRemoveDuplicateFacets() throws Exception {
+        mockMvc.perform(get("/api/users/stats").param("facets", "length", "length"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets.length()").value(1))
+                .andExpect(jsonPath("$.lengthHistogram['5']").value(2));
+    }
+    
+    @Test
+    void unknownFacetIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/stats").param("facets", "foo"))
+                .andExpect(status().isBadRequest());
+        // Facet names are case-sensitive
+        mockMvc.perform(get("/api/users/stats").param("facets", "Prefix"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void unknownDatasetIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/unknown/users/count"))
+                .andExpect(status().isNotFound());
+    }
+}
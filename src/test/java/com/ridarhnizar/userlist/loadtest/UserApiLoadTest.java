@@ -0,0 +1,303 @@
+package com.ridarhnizar.userlist.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-loop load test of the REST API against a synthetic dataset.
+ * Runs only with the loadtest profile: ./mvnw test -Ploadtest
+ *
+ * Requests are scheduled at a fixed rate and latency is measured from each request's
+ * intended start time, so a stalled server is not hidden by the generator waiting on it
+ * (coordinated omission). The build fails if p99 exceeds the configured thresholds:
+ * loadtest.p99Millis for all requests, loadtest.p99Millis.{scenario} per endpoint.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserApiLoadTest {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String[] SYLLABLES = {"an", "bel", "car", "da", "el", "fa", "gi", "ha", "is", "jo",
+            "ka", "li", "ma", "no", "ol", "pe", "ra", "sa", "te", "ur", "vi", "wa", "xe", "ya", "zo"};
+    // Slack for a phase to drain after its scheduled end before its workers are stopped
+    private static final long DRAIN_SECONDS = 60;
+    // Achieved rate below this share of the target means the generator turned closed-loop
+    private static final double MIN_ACHIEVED_RATE_RATIO = 0.95;
+    private static final String[] SEARCH_QUERIES = {"ma", "ann", "jo", "lisa", "ka", "rael", "ol", "te"};
+    
+    // Realistic traffic mix: scenario name and relative weight
+    private static final String[] SCENARIOS = {"users", "letter", "search", "alphabet", "count"};
+    private static final int[] WEIGHTS = {40, 25, 15, 12, 8};
+    
+    @LocalServerPort
+    private int port;
+    
+    @DynamicPropertySource
+    static void syntheticDataset(DynamicPropertyRegistry registry) throws IOException {
+        Path file = writeSyntheticDataset(Integer.getInteger("loadtest.datasetSize", 200_000));
+        registry.add("userlist.datasets.default", () -> file.toUri().toString());
+    }
+    
+    private static Path writeSyntheticDataset(int size) throws IOException {
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+            names.add(name.toString() + i);
+        }
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        
+        Path file = Files.createTempFile("usernames-loadtest", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, names, StandardCharsets.UTF_8);
+        return file;
+    }
+    
+    @Test
+    void latencyStaysWithinSlo() throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 500);
+        int threads = Integer.getInteger("loadtest.threads", 64);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        
+        // Warm-up loads the dataset and lets the JIT settle; its results are discarded
+        Phase warmup = runPhase(client, rate, threads, warmupSeconds);
+        assertTrue(warmup.finished, "Warm-up did not finish within " + DRAIN_SECONDS
+                + " s of its schedule; the generator cannot keep up (raise loadtest.threads or lower loadtest.rate)");
+        Phase phase = runPhase(client, rate, threads, durationSeconds);
+        
+        String report = phase.report(rate, durationSeconds);
+        System.out.println(report);
+        Path reportFile = Paths.get("target", "loadtest-report.txt");
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, report, StandardCharsets.UTF_8);
+        
+        assertTrue(phase.finished, "Measured phase did not finish within " + DRAIN_SECONDS
+                + " s of its schedule; the generator cannot keep up (raise loadtest.threads or lower loadtest.rate)");
+        assertEquals(0, phase.errors.get(), "Requests failed during the load test");
+        assertP99WithinThreshold("all", phase.overall, System.getProperty("loadtest.p99Millis", "50"));
+        for (String scenario : SCENARIOS) {
+            String threshold = System.getProperty("loadtest.p99Millis." + scenario);
+            if (threshold != null) {
+                assertP99WithinThreshold(scenario, phase.histograms.get(scenario), threshold);
+            }
+        }
+    }
+    
+    /**
+     * Compares payload size and transfer time of /api/users/all as JSON and as the columnar binary format.
+     */
+    @Test
+    void columnarExportIsSmallerThanJson() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        int rounds = Integer.getInteger("loadtest.formatRounds", 5);
+        
+        StringBuilder report = new StringBuilder(String.format("%-10s %14s %14s %14s%n", "format", "bytes", "best ms", "rows/s"));
+        long[] jsonResult = measureExport(client, "application/json", rounds);
+        long[] columnarResult = measureExport(client, "application/x-userlist-columnar", rounds);
+        int rows = Integer.getInteger("loadtest.datasetSize", 200_000);
+        for (Object[] row : new Object[][]{{"json", jsonResult}, {"columnar", columnarResult}}) {
+            long[] result = (long[]) row[1];
+            report.append(String.format("%-10s %14d %14.2f %14.0f%n",
+                    row[0], result[0], result[1] / 1e6, rows / (result[1] / 1e9)));
+        }
+        System.out.println(report);
+        Path reportFile = Paths.get("target", "loadtest-format-report.txt");
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, report, StandardCharsets.UTF_8);
+        
+        assertTrue(columnarResult[0] < jsonResult[0], "Columnar export should be smaller than JSON");
+    }
+    
+    /**
+     * Returns {response bytes, fastest round in nanos} for GET /api/users/all with the given Accept header.
+     */
+    private long[] measureExport(HttpClient client, String accept, int rounds) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/all"))
+                .header("Accept", accept)
+                .GET()
+                .build();
+        long bytes = 0;
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            best = Math.min(best, System.nanoTime() - start);
+            assertEquals(200, response.statusCode());
+            bytes = response.body().length;
+        }
+        return new long[]{bytes, best};
+    }
+    
+    private static void assertP99WithinThreshold(String scenario, Histogram histogram, String thresholdMillis) {
+        double p99Millis = histogram.getValueAtPercentile(99.0) / 1000.0;
+        double threshold = Double.parseDouble(thresholdMillis);
+        assertTrue(p99Millis <= threshold,
+                String.format("p99 for %s is %.2f ms, threshold is %.2f ms", scenario, p99Millis, threshold));
+    }
+    
+    /**
+     * Sends requests at a fixed rate for the given duration. Worker threads claim the next
+     * scheduled slot, wait for its intended start time and record latency from that time.
+     */
+    private Phase runPhase(HttpClient client, int rate, int threads, int durationSeconds) throws InterruptedException {
+        Phase phase = new Phase();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long totalRequests = (long) rate * durationSeconds;
+        AtomicLong sequence = new AtomicLong();
+        long start = System.nanoTime();
+        
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.execute(() -> {
+                long n;
+                while (!Thread.currentThread().isInterrupted() && (n = sequence.getAndIncrement()) < totalRequests) {
+                    long intended = start + n * intervalNanos;
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    String scenario = pickScenario();
+                    boolean ok = send(client, pathFor(scenario));
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                    phase.record(scenario, Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS), ok);
+                }
+            });
+        }
+        workers.shutdown();
+        phase.finished = workers.awaitTermination(durationSeconds + DRAIN_SECONDS, TimeUnit.SECONDS);
+        if (!phase.finished) {
+            // Stop stragglers so they cannot send traffic into the next phase
+            workers.shutdownNow();
+            workers.awaitTermination(DRAIN_SECONDS, TimeUnit.SECONDS);
+        }
+        phase.elapsedNanos = System.nanoTime() - start;
+        return phase;
+    }
+    
+    private boolean send(HttpClient client, String path) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private static String pickScenario() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        for (int i = 0; i < SCENARIOS.length; i++) {
+            roll -= WEIGHTS[i];
+            if (roll < 0) {
+                return SCENARIOS[i];
+            }
+        }
+        return SCENARIOS[0];
+    }
+    
+    private static String pathFor(String scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (scenario) {
+            case "letter":
+                return "/api/users/letter/" + (char) ('A' + random.nextInt(26)) + "?page=" + random.nextInt(5) + "&size=50";
+            case "search":
+                return "/api/users/search?q=" + SEARCH_QUERIES[random.nextInt(SEARCH_QUERIES.length)] + "&page=0&size=50";
+            case "alphabet":
+                return "/api/users/alphabet";
+            case "count":
+                return "/api/users/count";
+            default:
+                return "/api/users?page=" + random.nextInt(1000) + "&size=50";
+        }
+    }
+    
+    private static class Phase {
+        private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+        private final Histogram overall = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+        private long elapsedNanos;
+        private boolean finished;
+        
+        Phase() {
+            for (String scenario : SCENARIOS) {
+                histograms.put(scenario, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            }
+        }
+        
+        void record(String scenario, long latencyMicros, boolean ok) {
+            histograms.get(scenario).recordValue(latencyMicros);
+            overall.recordValue(latencyMicros);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+        
+        String report(int rate, int durationSeconds) {
+            StringBuilder report = new StringBuilder();
+            double elapsedSeconds = elapsedNanos / 1e9;
+            double achievedRate = overall.getTotalCount() / elapsedSeconds;
+            report.append(String.format("Load test: target %d req/s for %d s, achieved %.1f req/s, %d errors%n",
+                    rate, durationSeconds, achievedRate, errors.get()));
+            if (achievedRate < rate * MIN_ACHIEVED_RATE_RATIO) {
+                report.append(String.format("WARNING: achieved rate is %.0f%% of target; all workers were blocked, so the "
+                        + "generator ran closed-loop for part of the test. Latencies still count from the scheduled "
+                        + "start, but raise loadtest.threads for a true open-loop run.%n", 100 * achievedRate / rate));
+            }
+            report.append(String.format("%-10s %10s %10s %10s %10s %10s %10s%n",
+                    "endpoint", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+            for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                appendRow(report, entry.getKey(), entry.getValue());
+            }
+            appendRow(report, "all", overall);
+            return report.toString();
+        }
+        
+        private static void appendRow(StringBuilder report, String name, Histogram histogram) {
+            report.append(String.format("%-10s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    name,
+                    histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50.0) / 1000.0,
+                    histogram.getValueAtPercentile(90.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0));
+        }
+    }
+}
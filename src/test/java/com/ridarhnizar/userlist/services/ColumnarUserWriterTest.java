@@ -0,0 +1,105 @@
+package com.ridarhnizar.userlist.services;
+
+import com.ridarhnizar.userlist.config.DatasetProperties;
+import com.ridarhnizar.userlist.dto.UserRequestDTO;
+import com.ridarhnizar.userlist.dto.UserResponseDTO;
+import com.ridarhnizar.userlist.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarUserWriterTest {
+    
+    // More rows than one columnar block (64K) so /all spans several blocks
+    private static final int ROWS = 70_000;
+    
+    private UserService userService;
+    
+    @BeforeEach
+    void setUp(@TempDir Path dir) throws IOException {
+        List<String> names = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            names.add(String.format("User%06d", i));
+        }
+        // Non-ASCII names exercise the UTF-8 fallback, including one at a block boundary
+        names.set(3, "Zoë");
+        names.set(65_535, "Émile");
+        names.set(65_536, "Renée 😀");
+        Path file = dir.resolve("usernames.txt");
+        Files.write(file, names, StandardCharsets.UTF_8);
+        
+        DatasetProperties properties = new DatasetProperties();
+        properties.setDatasets(Map.of("default", file.toUri().toString()));
+        DatasetRegistry registry = new DatasetRegistry();
+        ReflectionTestUtils.setField(registry, "properties", properties);
+        ReflectionTestUtils.setField(registry, "resourceLoader", new DefaultResourceLoader());
+        registry.initializeDatasets();
+        
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "datasetRegistry", registry);
+    }
+    
+    @Test
+    void pagesRoundTripLikeGetUsers() throws IOException {
+        int[][] pages = {{0, 50}, {1310, 50}, {1, 50_000}, {ROWS / 50, 50}, {10_000, 50}};
+        for (int[] page : pages) {
+            UserRequestDTO request = new UserRequestDTO(page[0], page[1]);
+            UserResponseDTO expected = userService.getUsers(request);
+            UserResponseDTO actual = decode(userService.getUsersColumnar(null, request));
+            assertSamePage(expected, actual);
+        }
+    }
+    
+    @Test
+    void emptyPageHasHeaderOnly() throws IOException {
+        UserRequestDTO request = new UserRequestDTO(10_000, 50);
+        UserResponseDTO actual = decode(userService.getUsersColumnar(null, request));
+        assertTrue(actual.getUsers().isEmpty());
+        assertEquals(ROWS, actual.getTotalCount());
+    }
+    
+    @Test
+    void allUsersRoundTripAcrossBlocks() throws IOException {
+        List<User> expected = userService.getAllUsers();
+        UserResponseDTO actual = decode(userService.getAllUsersColumnar(null));
+        assertEquals(ROWS, actual.getTotalCount());
+        assertSameUsers(expected, actual.getUsers());
+        assertEquals("Renée 😀", actual.getUsers().get(65_536).getName());
+    }
+    
+    private static UserResponseDTO decode(ColumnarUserWriter writer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(out);
+        return ColumnarUserReader.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+    
+    private static void assertSamePage(UserResponseDTO expected, UserResponseDTO actual) {
+        assertEquals(expected.getTotalCount(), actual.getTotalCount());
+        assertEquals(expected.getPage(), actual.getPage());
+        assertEquals(expected.getPageSize(), actual.getPageSize());
+        assertSameUsers(expected.getUsers(), actual.getUsers());
+    }
+    
+    private static void assertSameUsers(List<User> expected, List<User> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getIndex(), actual.get(i).getIndex());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.ridarhnizar.userlist.services;
+
+import com.ridarhnizar.userlist.config.DatasetProperties;
+import com.ridarhnizar.userlist.exceptions.DatasetNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DatasetRegistryTest {
+    
+    // ~6000 rows is roughly 400 KB by the registry's estimate: two datasets fit in 1 MB, three do not
+    private static final int ROWS = 6000;
+    private static final int CALLERS = 8;
+    
+    @TempDir
+    Path dir;
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final CountingResourceLoader resourceLoader = new CountingResourceLoader();
+    private final Map<String, String> locations = new LinkedHashMap<>();
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void loadsDefaultEagerlyAndOthersLazily() throws IOException {
+        DatasetRegistry registry = registry("default", "tenant-a");
+        
+        assertNotNull(registry.getLoadedDataset("default"));
+        assertNull(registry.getLoadedDataset("tenant-a"));
+        assertEquals(ROWS, registry.getDataset("tenant-a").getTotalUserCount());
+        assertNotNull(registry.getLoadedDataset("tenant-a"));
+    }
+    
+    @Test
+    void concurrentFirstAccessLoadsOnce() throws Exception {
+        DatasetRegistry registry = registry("default", "tenant-a");
+        CountDownLatch release = resourceLoader.block("tenant-a");
+        
+        List<Future<UserDataset>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> registry.getDataset("tenant-a")));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        
+        UserDataset first = futures.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<UserDataset> future : futures) {
+            assertSame(first, future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, resourceLoader.loads("tenant-a"));
+    }
+    
+    @Test
+    void failedLoadIsRetried() throws IOException {
+        DatasetRegistry registry = registry("default", "tenant-a");
+        Path file = dir.resolve("tenant-a.txt");
+        Files.delete(file);
+        
+        assertThrows(RuntimeException.class, () -> registry.getDataset("tenant-a"));
+        assertNull(registry.getLoadedDataset("tenant-a"));
+        
+        writeDataset(file);
+        assertEquals(ROWS, registry.getDataset("tenant-a").getTotalUserCount());
+    }
+    
+    @Test
+    void evictsLeastRecentlyUsedOverBudget() throws IOException {
+        DatasetRegistry registry = registry("default", "tenant-a", "tenant-b");
+        registry.getDataset("tenant-a");
+        // Touch the default dataset so tenant-a becomes least recently used
+        registry.getDataset(null);
+        registry.getDataset("tenant-b");
+        
+        assertNotNull(registry.getLoadedDataset("default"));
+        assertNull(registry.getLoadedDataset("tenant-a"));
+        assertNotNull(registry.getLoadedDataset("tenant-b"));
+        
+        // An evicted dataset is reloaded on demand
+        assertEquals(ROWS, registry.getDataset("tenant-a").getTotalUserCount());
+        assertEquals(2, resourceLoader.loads("tenant-a"));
+    }
+    
+    @Test
+    void unknownDatasetIsNotFound() throws IOException {
+        DatasetRegistry registry = registry("default");
+        assertThrows(DatasetNotFoundException.class, () -> registry.getDataset("unknown"));
+    }
+    
+    private DatasetRegistry registry(String... names) throws IOException {
+        for (String name : names) {
+            Path file = dir.resolve(name + ".txt");
+            writeDataset(file);
+            locations.put(name, file.toUri().toString());
+        }
+        DatasetProperties properties = new DatasetProperties();
+        properties.setMemoryBudgetMb(1);
+        properties.setDatasets(locations);
+        
+        DatasetRegistry registry = new DatasetRegistry();
+        ReflectionTestUtils.setField(registry, "properties", properties);
+        ReflectionTestUtils.setField(registry, "resourceLoader", resourceLoader);
+        registry.initializeDatasets();
+        return registry;
+    }
+    
+    private static void writeDataset(Path file) throws IOException {
+        List<String> names = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            names.add(String.format("User%06d", i));
+        }
+        Files.write(file, names, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Counts dataset loads by location and can hold a load until released.
+     * Startup existence checks go through exists(), not a load, so they are not counted.
+     */
+    private class CountingResourceLoader extends DefaultResourceLoader {
+        private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+        private final Map<String, CountDownLatch> blocked = new ConcurrentHashMap<>();
+        
+        CountDownLatch block(String name) {
+            CountDownLatch latch = new CountDownLatch(1);
+            blocked.put(locations.get(name), latch);
+            return latch;
+        }
+        
+        int loads(String name) {
+            AtomicInteger count = loads.get(locations.get(name));
+            return count != null ? count.get() : 0;
+        }
+        
+        @Override
+        public Resource getResource(String location) {
+            Resource resource = super.getResource(location);
+            return new AbstractResource() {
+                @Override
+                public boolean exists() {
+                    return resource.exists();
+                }
+                
+                @Override
+                public String getDescription() {
+                    return resource.getDescription();
+                }
+                
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    loads.computeIfAbsent(location, key -> new AtomicInteger()).incrementAndGet();
+                    CountDownLatch latch = blocked.get(location);
+                    if (latch != null) {
+                        try {
+                            latch.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return resource.getInputStream();
+                }
+            };
+        }
+    }
+}
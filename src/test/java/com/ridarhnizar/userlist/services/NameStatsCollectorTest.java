@@ -0,0 +1,61 @@
+package com.ridarhnizar.userlist.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameStatsCollectorTest {
+    
+    // More rows than one 64K chunk so per-chunk results have to be merged
+    private static final int ROWS = 70_000;
+    private static final int REGULAR_ROWS = ROWS - 3;
+    
+    private static List<String> names() {
+        List<String> names = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            names.add(String.format("Bob%05d", i));
+        }
+        // Special rows spread over both chunks
+        names.set(0, "A");
+        names.set(65_536, "9lives");
+        names.set(ROWS - 1, "x".repeat(100));
+        return names;
+    }
+    
+    @Test
+    void prefixCountsUseHashForNonLettersAndOneCharacterKeys() {
+        Map<String, Integer> prefixes = NameStatsCollector.collect(names()).getPrefixCounts();
+        
+        assertEquals(Map.of("A", 1, "BO", REGULAR_ROWS, "#L", 1, "XX", 1), prefixes);
+    }
+    
+    @Test
+    void lengthHistogramCapsLongNames() {
+        Map<String, Integer> lengths = NameStatsCollector.collect(names()).getLengthHistogram();
+        
+        assertEquals(Map.of("1", 1, "6", 1, "8", REGULAR_ROWS, "64+", 1), lengths);
+    }
+    
+    @Test
+    void characterClassesAreMergedAcrossChunks() {
+        Map<String, Long> classes = NameStatsCollector.collect(names()).getCharacterClasses();
+        
+        assertEquals(REGULAR_ROWS + 1L, classes.get("uppercase"));
+        assertEquals(REGULAR_ROWS * 2L + 5 + 100, classes.get("lowercase"));
+        assertEquals(REGULAR_ROWS * 5L + 1, classes.get("digit"));
+        assertEquals(0L, classes.get("whitespace"));
+        assertEquals(0L, classes.get("other"));
+    }
+    
+    @Test
+    void collectsOnlyTheGivenIndices() {
+        NameStatsCollector stats = NameStatsCollector.collect(names(), new int[]{0, 65_536, 100});
+        
+        assertEquals(Map.of("A", 1, "#L", 1, "BO", 1), stats.getPrefixCounts());
+        assertEquals(Map.of("1", 1, "6", 1, "8", 1), stats.getLengthHistogram());
+    }
+}
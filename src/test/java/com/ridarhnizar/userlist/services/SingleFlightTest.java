@@ -0,0 +1,126 @@
+package com.ridarhnizar.userlist.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    
+    private static final int CALLERS = 8;
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Object result = new Object();
+        
+        List<Future<Object>> futures = submitCallers(flight, () -> {
+            runs.incrementAndGet();
+            await(release);
+            return result;
+        });
+        waitForWaiters(flight, CALLERS - 1);
+        release.countDown();
+        
+        for (Future<Object> future : futures) {
+            assertSame(result, future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(1, flight.getExecutions());
+        assertEquals(CALLERS - 1, flight.getCoalesced());
+    }
+    
+    @Test
+    void failureReachesEveryWaiterAndKeyIsReleased() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("scan failed");
+        
+        List<Future<Object>> futures = submitCallers(flight, () -> {
+            await(release);
+            throw failure;
+        });
+        waitForWaiters(flight, CALLERS - 1);
+        release.countDown();
+        
+        for (Future<Object> future : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        
+        // The failed computation is not remembered: the next call runs again
+        Object next = new Object();
+        assertSame(next, flight.execute("key", () -> next));
+        assertEquals(2, flight.getExecutions());
+    }
+    
+    @Test
+    void errorReachesWaitersUnwrapped() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        AssertionError failure = new AssertionError("boom");
+        
+        List<Future<Object>> futures = submitCallers(flight, () -> {
+            await(release);
+            throw failure;
+        });
+        waitForWaiters(flight, CALLERS - 1);
+        release.countDown();
+        
+        for (Future<Object> future : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+    }
+    
+    private List<Future<Object>> submitCallers(SingleFlight<String, Object> flight, Supplier<Object> computation) {
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> flight.execute("key", computation)));
+        }
+        return futures;
+    }
+    
+    /**
+     * Wait until the given number of callers joined the in-flight computation.
+     */
+    private static void waitForWaiters(SingleFlight<String, Object> flight, int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flight.getCoalesced() < waiters) {
+            assertTrue(System.nanoTime() < deadline, "Callers did not join the in-flight computation");
+            Thread.sleep(1);
+        }
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}